@@ -0,0 +1,190 @@
+package com.example.load;
+
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator: a fixed number of workers issue requests back to back.
+ * <p>
+ * Each worker picks a random user and an operation according to the configured
+ * weights. Note ids created during the run are tracked per user, so text, stats,
+ * update and delete always target existing notes. Random choices are seeded, so
+ * the request mix is reproducible between runs.
+ */
+final class LoadDriver {
+
+    private static final String[] VOCABULARY = (
+            "note meeting project budget review client release plan task idea draft summary "
+            + "report design sprint deadline invoice travel family weekend health shopping list "
+            + "call email follow update status risk issue fix test deploy backlog team goal "
+            + "quarter feedback contract order payment schedule agenda minutes decision action "
+            + "the a an and or to of in on for with at by from is are was be this that it").split(" ");
+    private static final String[] TAGS = {"BUSINESS", "PERSONAL", "IMPORTANT"};
+    private static final int TEMPLATE_COUNT = 5;
+
+    private final LoadSettings settings;
+    private final NotesClient client;
+    private final List<List<String>> noteIds = new ArrayList<>();
+    private final String[] templates = new String[TEMPLATE_COUNT];
+    private final Operation[] mix;
+
+    LoadDriver(LoadSettings settings, NotesClient client) {
+        this.settings = settings;
+        this.client = client;
+
+        Random rnd = new Random(settings.seed());
+        for (int i = 0; i < TEMPLATE_COUNT; i++) {
+            templates[i] = randomText(rnd, settings.noteWords());
+        }
+        for (int u = 0; u < settings.users(); u++) {
+            noteIds.add(new ArrayList<>());
+        }
+
+        List<Operation> ops = new ArrayList<>();
+        settings.weights().forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                ops.add(op);
+            }
+        });
+        if (ops.isEmpty()) {
+            throw new IllegalArgumentException("At least one load.weight.* must be positive");
+        }
+        this.mix = ops.toArray(Operation[]::new);
+    }
+
+    /**
+     * Creates the initial notes for every user; not measured.
+     */
+    void seed() {
+        Random rnd = new Random(settings.seed() + 1);
+        for (int u = 0; u < settings.users(); u++) {
+            for (int i = 0; i < settings.notesPerUser(); i++) {
+                HttpResponse<String> resp = client.create(userId(u), "seed " + i, noteText(rnd), tags(rnd));
+                if (resp.statusCode() != 201) {
+                    throw new IllegalStateException("Seeding failed with status " + resp.statusCode());
+                }
+                noteIds.get(u).add(client.idOf(resp));
+            }
+        }
+    }
+
+    /**
+     * Runs the workload for the given time and returns the recorded results.
+     */
+    LoadReport run(int seconds, long phaseSeed) throws InterruptedException {
+        LoadReport report = new LoadReport();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+        for (int w = 0; w < settings.threads(); w++) {
+            Random rnd = new Random(phaseSeed * 1_000 + w);
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    step(rnd, report);
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Load workers did not finish in time");
+        }
+
+        report.setElapsedNanos(System.nanoTime() - started);
+        return report;
+    }
+
+    private void step(Random rnd, LoadReport report) {
+        int u = rnd.nextInt(settings.users());
+        String userId = userId(u);
+        Operation op = mix[rnd.nextInt(mix.length)];
+
+        String id = null;
+        if (op.needsExistingNote()) {
+            id = pickNote(u, rnd, op == Operation.DELETE);
+            if (id == null) {
+                op = Operation.CREATE;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> resp = switch (op) {
+                case CREATE -> client.create(userId, "note", noteText(rnd), tags(rnd));
+                case LIST -> client.list(userId, rnd.nextInt(10) < 8 ? 0 : 1, 10,
+                        rnd.nextInt(4) == 0 ? TAGS[rnd.nextInt(TAGS.length)] : null);
+                case TEXT -> client.text(userId, id);
+                case STATS -> client.stats(userId, id);
+                case UPDATE -> client.update(userId, id, "updated", noteText(rnd), tags(rnd));
+                case DELETE -> client.delete(userId, id);
+            };
+            report.record(op, resp.statusCode(), System.nanoTime() - start);
+
+            if (op == Operation.CREATE && resp.statusCode() == 201) {
+                List<String> ids = noteIds.get(u);
+                String created = client.idOf(resp);
+                synchronized (ids) {
+                    ids.add(created);
+                }
+            }
+        } catch (RuntimeException e) {
+            report.recordError(op);
+        }
+    }
+
+    private String pickNote(int user, Random rnd, boolean remove) {
+        List<String> ids = noteIds.get(user);
+        synchronized (ids) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int idx = rnd.nextInt(ids.size());
+            if (!remove) {
+                return ids.get(idx);
+            }
+            // Swap-remove keeps deletes O(1).
+            String id = ids.get(idx);
+            ids.set(idx, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+
+    private String noteText(Random rnd) {
+        if (rnd.nextDouble() < settings.templateRatio()) {
+            return templates[rnd.nextInt(TEMPLATE_COUNT)];
+        }
+        // Sizes vary between half and one and a half times the configured word count.
+        int words = Math.max(1, settings.noteWords() / 2 + rnd.nextInt(settings.noteWords() + 1));
+        return randomText(rnd, words);
+    }
+
+    private static String randomText(Random rnd, int words) {
+        StringBuilder sb = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(i % 12 == 0 ? ". " : " ");
+            }
+            sb.append(VOCABULARY[rnd.nextInt(VOCABULARY.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> tags(Random rnd) {
+        List<String> tags = new ArrayList<>();
+        for (String tag : TAGS) {
+            if (rnd.nextInt(3) == 0) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static String userId(int index) {
+        return "load-user-" + index;
+    }
+}
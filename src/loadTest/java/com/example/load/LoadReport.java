@@ -0,0 +1,155 @@
+package com.example.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counters per endpoint.
+ * <p>
+ * Latencies of successful calls are recorded in microseconds; 429/503
+ * responses are counted as rejected, any other non-2xx response or I/O failure
+ * as an error. A 404 on an existing-note call is counted as not found: workers
+ * race on shared ids, and its latency would skew the histogram towards the
+ * cheap miss path.
+ */
+final class LoadReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> notFound = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LoadReport() {
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            rejected.put(op, new LongAdder());
+            notFound.put(op, new LongAdder());
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    void record(Operation op, int status, long latencyNanos) {
+        if (status == 429 || status == 503) {
+            rejected.get(op).increment();
+            return;
+        }
+        // A note may be deleted by another worker between picking and using its id.
+        if (status == 404 && op.needsExistingNote()) {
+            notFound.get(op).increment();
+            return;
+        }
+        if (status < 200 || status >= 300) {
+            errors.get(op).increment();
+            return;
+        }
+        long micros = Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        latencies.get(op).recordValue(micros);
+    }
+
+    void recordError(Operation op) {
+        errors.get(op).increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * One row per endpoint plus a {@code total} row.
+     */
+    List<Row> rows() {
+        double seconds = elapsedNanos / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalRejected = 0;
+        long totalNotFound = 0;
+        long totalErrors = 0;
+
+        for (Operation op : Operation.values()) {
+            Histogram h = latencies.get(op);
+            total.add(h);
+            totalRejected += rejected.get(op).sum();
+            totalNotFound += notFound.get(op).sum();
+            totalErrors += errors.get(op).sum();
+            rows.add(row(op.key(), h, seconds, rejected.get(op).sum(), errors.get(op).sum(), notFound.get(op).sum()));
+        }
+        rows.add(row("total", total, seconds, totalRejected, totalErrors, totalNotFound));
+        return rows;
+    }
+
+    String table() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "%-8s %9s %10s %9s %9s %9s %9s %9s %7s %9s%n",
+                "endpoint", "count", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "rejected", "errors",
+                "notfound"));
+        for (Row r : rows()) {
+            sb.append(String.format(Locale.ROOT,
+                    "%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9d %7d %9d%n",
+                    r.endpoint(), r.count(), r.throughput(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs(),
+                    r.rejected(), r.errors(), r.notFound()));
+        }
+        return sb.toString();
+    }
+
+    Path writeCsv(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<String> lines = new ArrayList<>();
+        lines.add(Row.CSV_HEADER);
+        for (Row r : rows()) {
+            lines.add(r.toCsv());
+        }
+        Path file = dir.resolve("summary.csv");
+        Files.write(file, lines);
+        return file;
+    }
+
+    private static Row row(String endpoint, Histogram h, double seconds, long rejected, long errors, long notFound) {
+        return new Row(
+                endpoint,
+                h.getTotalCount(),
+                seconds > 0 ? h.getTotalCount() / seconds : 0,
+                h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0,
+                rejected,
+                errors,
+                notFound
+        );
+    }
+
+    record Row(String endpoint, long count, double throughput,
+               double p50Ms, double p99Ms, double p999Ms, double maxMs,
+               long rejected, long errors, long notFound) {
+
+        static final String CSV_HEADER =
+                "endpoint,count,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,rejected,errors,not_found";
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d",
+                    endpoint, count, throughput, p50Ms, p99Ms, p999Ms, maxMs, rejected, errors, notFound);
+        }
+
+        /**
+         * Parses a row written by {@link #toCsv()}; baselines written before the
+         * {@code not_found} column existed read it as 0.
+         */
+        static Row fromCsv(String line) {
+            String[] f = line.split(",");
+            return new Row(f[0], Long.parseLong(f[1]), Double.parseDouble(f[2]),
+                    Double.parseDouble(f[3]), Double.parseDouble(f[4]), Double.parseDouble(f[5]),
+                    Double.parseDouble(f[6]), Long.parseLong(f[7]), Long.parseLong(f[8]),
+                    f.length > 9 ? Long.parseLong(f[9]) : 0);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code load.*} system properties.
+ * <p>
+ * The Gradle {@code loadTest} task forwards {@code -Pload.*} project properties,
+ * e.g. {@code ./gradlew loadTest -Pload.users=500 -Pload.durationSeconds=60}.
+ */
+record LoadSettings(
+        String mongo,
+        int users,
+        int threads,
+        int notesPerUser,
+        int noteWords,
+        double templateRatio,
+        int warmupSeconds,
+        int durationSeconds,
+        long seed,
+        Map<Operation, Integer> weights,
+        String reportDir,
+        String thresholds,
+        String baseline,
+        double maxRegressionPercent
+) {
+
+    static LoadSettings fromSystemProperties() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            weights.put(op, intProp("load.weight." + op.key(), op.defaultWeight()));
+        }
+        return new LoadSettings(
+                System.getProperty("load.mongo", "memory"),
+                intProp("load.users", 100),
+                intProp("load.threads", 16),
+                intProp("load.notesPerUser", 20),
+                intProp("load.noteWords", 60),
+                Double.parseDouble(System.getProperty("load.templateRatio", "0.2")),
+                intProp("load.warmupSeconds", 5),
+                intProp("load.durationSeconds", 30),
+                Long.parseLong(System.getProperty("load.seed", "42")),
+                weights,
+                System.getProperty("load.reportDir", "build/reports/load-test"),
+                System.getProperty("load.thresholds"),
+                System.getProperty("load.baseline"),
+                Double.parseDouble(System.getProperty("load.maxRegressionPercent", "25"))
+        );
+    }
+
+    private static int intProp(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.load;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.net.InetSocketAddress;
+
+/**
+ * MongoDB for the load test: an in-process, in-memory server by default,
+ * or a real MongoDB in Testcontainers with {@code -Pload.mongo=testcontainers}.
+ * <p>
+ * The in-memory server keeps results reproducible and free of Docker, but it
+ * does not support change streams, so the recent notes cache runs without them.
+ */
+final class MongoStandIn {
+
+    private static MongoServer server;
+    private static MongoDBContainer container;
+
+    private MongoStandIn() {
+    }
+
+    static synchronized String start(String mode) {
+        return switch (mode) {
+            case "memory" -> {
+                server = new MongoServer(new MemoryBackend());
+                InetSocketAddress address = server.bind();
+                yield "mongodb://" + address.getHostString() + ":" + address.getPort() + "/notesdb_load";
+            }
+            case "testcontainers" -> {
+                container = new MongoDBContainer("mongo:7");
+                container.start();
+                yield container.getReplicaSetUrl("notesdb_load");
+            }
+            default -> throw new IllegalArgumentException("Unknown load.mongo mode: " + mode);
+        };
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.shutdownNow();
+            server = null;
+        }
+        if (container != null) {
+            container.stop();
+            container = null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal blocking HTTP client for the notes API.
+ * <p>
+ * Uses the JDK client rather than TestRestTemplate to keep client overhead
+ * small and comparable between runs.
+ */
+final class NotesClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    NotesClient(int port) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.baseUrl = "http://localhost:" + port + "/v1/users/";
+    }
+
+    HttpResponse<String> create(String userId, String title, String text, List<String> tags) {
+        return send(HttpRequest.newBuilder(notes(userId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body(title, text, tags))));
+    }
+
+    HttpResponse<String> list(String userId, int page, int size, String tag) {
+        String query = "?page=" + page + "&size=" + size + (tag == null ? "" : "&tag=" + tag);
+        return send(HttpRequest.newBuilder(URI.create(notes(userId) + query)).GET());
+    }
+
+    HttpResponse<String> text(String userId, String id) {
+        return send(HttpRequest.newBuilder(URI.create(notes(userId) + "/" + id + "/text")).GET());
+    }
+
+    HttpResponse<String> stats(String userId, String id) {
+        return send(HttpRequest.newBuilder(URI.create(notes(userId) + "/" + id + "/stats")).GET());
+    }
+
+    HttpResponse<String> update(String userId, String id, String title, String text, List<String> tags) {
+        return send(HttpRequest.newBuilder(URI.create(notes(userId) + "/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body(title, text, tags))));
+    }
+
+    HttpResponse<String> delete(String userId, String id) {
+        return send(HttpRequest.newBuilder(URI.create(notes(userId) + "/" + id)).DELETE());
+    }
+
+    String idOf(HttpResponse<String> created) {
+        try {
+            return mapper.readTree(created.body()).get("id").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI notes(String userId) {
+        return URI.create(baseUrl + userId + "/notes");
+    }
+
+    private String body(String title, String text, List<String> tags) {
+        try {
+            return mapper.writeValueAsString(Map.of("title", title, "text", text, "tags", tags));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        try {
+            return http.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.load;
+
+import com.example.task.DemoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the notes API.
+ * <p>
+ * Starts the real application on a random port against a MongoDB stand-in,
+ * seeds notes, runs a warmup and a measured phase of mixed traffic, prints
+ * throughput and p50/p99/p999 latency per endpoint, writes
+ * {@code build/reports/load-test/summary.csv} and fails on threshold violations.
+ */
+@SpringBootTest(classes = DemoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NotesLoadTest {
+
+    private static final LoadSettings SETTINGS = LoadSettings.fromSystemProperties();
+
+    @LocalServerPort int port;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        String uri = MongoStandIn.start(SETTINGS.mongo());
+        registry.add("spring.data.mongodb.uri", () -> uri);
+        if ("memory".equals(SETTINGS.mongo())) {
+            // The in-memory server has no change streams.
+            registry.add("notes.recent-cache.change-stream", () -> "false");
+        }
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MongoStandIn.stop();
+    }
+
+    @Test
+    void mixedWorkload_shouldStayWithinThresholds() throws Exception {
+        LoadDriver driver = new LoadDriver(SETTINGS, new NotesClient(port));
+        driver.seed();
+        driver.run(SETTINGS.warmupSeconds(), 1);
+
+        LoadReport report = driver.run(SETTINGS.durationSeconds(), 2);
+
+        System.out.printf("%nLoad test: %d users, %d threads, %d s, mongo=%s%n%s",
+                SETTINGS.users(), SETTINGS.threads(), SETTINGS.durationSeconds(), SETTINGS.mongo(), report.table());
+        Path csv = report.writeCsv(Path.of(SETTINGS.reportDir()));
+        System.out.println("Summary written to " + csv);
+
+        List<String> violations = new RegressionCheck(SETTINGS).check(report.rows());
+        assertThat(violations).as("load test regressions").isEmpty();
+    }
+}
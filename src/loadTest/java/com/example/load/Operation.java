@@ -0,0 +1,34 @@
+package com.example.load;
+
+import java.util.Locale;
+
+/**
+ * Notes API calls issued by the load test, with their default share of the traffic mix.
+ */
+enum Operation {
+    CREATE(10),
+    LIST(40),
+    TEXT(20),
+    STATS(15),
+    UPDATE(10),
+    DELETE(5);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    /** Name used in property keys and reports. */
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    boolean needsExistingNote() {
+        return this != CREATE && this != LIST;
+    }
+}
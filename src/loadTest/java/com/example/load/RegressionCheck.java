@@ -0,0 +1,96 @@
+package com.example.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares a load test run with absolute thresholds and, optionally, a baseline run.
+ * <p>
+ * Thresholds are read from {@code load-thresholds.properties} on the classpath or
+ * from the file given by {@code load.thresholds}. A baseline is a
+ * {@code summary.csv} of an earlier run given by {@code load.baseline}.
+ */
+final class RegressionCheck {
+
+    private final LoadSettings settings;
+
+    RegressionCheck(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * @return human readable violations, empty if the run passes
+     */
+    List<String> check(List<LoadReport.Row> rows) throws IOException {
+        List<String> violations = new ArrayList<>();
+        Properties thresholds = loadThresholds();
+
+        for (LoadReport.Row r : rows) {
+            checkMax(violations, thresholds, r.endpoint() + ".p99.ms", r.p99Ms());
+            checkMax(violations, thresholds, r.endpoint() + ".p999.ms", r.p999Ms());
+            checkMax(violations, thresholds, r.endpoint() + ".errors", r.errors());
+
+            String minRps = thresholds.getProperty(r.endpoint() + ".min.rps");
+            if (minRps != null && r.throughput() < Double.parseDouble(minRps)) {
+                violations.add(String.format(Locale.ROOT, "%s throughput %.1f req/s is below %s",
+                        r.endpoint(), r.throughput(), minRps));
+            }
+        }
+
+        if (settings.baseline() != null) {
+            compareWithBaseline(violations, rows);
+        }
+        return violations;
+    }
+
+    private void compareWithBaseline(List<String> violations, List<LoadReport.Row> rows) throws IOException {
+        Map<String, LoadReport.Row> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(Path.of(settings.baseline()));
+        for (String line : lines.subList(1, lines.size())) {
+            LoadReport.Row r = LoadReport.Row.fromCsv(line);
+            baseline.put(r.endpoint(), r);
+        }
+
+        double factor = 1 + settings.maxRegressionPercent() / 100;
+        for (LoadReport.Row r : rows) {
+            LoadReport.Row base = baseline.get(r.endpoint());
+            if (base == null || base.count() == 0) {
+                continue;
+            }
+            if (r.p99Ms() > base.p99Ms() * factor) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.2f ms regressed from baseline %.2f ms",
+                        r.endpoint(), r.p99Ms(), base.p99Ms()));
+            }
+            if (r.throughput() * factor < base.throughput()) {
+                violations.add(String.format(Locale.ROOT, "%s throughput %.1f req/s regressed from baseline %.1f",
+                        r.endpoint(), r.throughput(), base.throughput()));
+            }
+        }
+    }
+
+    private Properties loadThresholds() throws IOException {
+        Properties props = new Properties();
+        if (settings.thresholds() != null) {
+            try (InputStream in = Files.newInputStream(Path.of(settings.thresholds()))) {
+                props.load(in);
+            }
+            return props;
+        }
+        try (InputStream in = RegressionCheck.class.getResourceAsStream("/load-thresholds.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        }
+        return props;
+    }
+
+    private static void checkMax(List<String> violations, Properties thresholds, String key, double actual) {
+        String max = thresholds.getProperty(key);
+        if (max != null && actual > Double.parseDouble(max)) {
+            violations.add(String.format(Locale.ROOT, "%s = %.2f exceeds %s", key, actual, max));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.task.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as subject to admission control.
+ * <p>
+ * Methods without this annotation are not rate limited.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    EndpointClass value();
+}
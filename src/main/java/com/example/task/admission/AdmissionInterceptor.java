@@ -0,0 +1,118 @@
+package com.example.task.admission;
+
+import com.example.task.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies admission control to controller methods annotated with {@link Admission}.
+ * <p>
+ * The global concurrency limit is checked first (503), then the per-user
+ * bucket (429), so a request shed for overload does not cost the user a token.
+ * Both rejections carry a Retry-After header.
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTR = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final UserRateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final AdmissionProperties props;
+
+    private final Map<EndpointClass, Counter> admitted = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> overloaded = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionInterceptor(UserRateLimiter rateLimiter,
+                                ConcurrencyLimiter concurrencyLimiter,
+                                AdmissionProperties props,
+                                MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.props = props;
+
+        for (EndpointClass c : EndpointClass.values()) {
+            String endpoint = c.name().toLowerCase(Locale.ROOT);
+            admitted.put(c, Counter.builder("notes.admission.admitted")
+                    .tag("endpoint", endpoint).register(registry));
+            rateLimited.put(c, Counter.builder("notes.admission.rejected")
+                    .tag("endpoint", endpoint).tag("reason", "rate_limited").register(registry));
+            overloaded.put(c, Counter.builder("notes.admission.rejected")
+                    .tag("endpoint", endpoint).tag("reason", "overloaded").register(registry));
+        }
+        Gauge.builder("notes.admission.in_flight", concurrencyLimiter, ConcurrencyLimiter::inFlight)
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod hm)) {
+            return true;
+        }
+        Admission admission = hm.getMethodAnnotation(Admission.class);
+        if (admission == null) {
+            return true;
+        }
+        EndpointClass endpointClass = admission.value();
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.get(endpointClass).increment();
+            throw new AdmissionRejectedException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    props.getOverloadRetryAfterSeconds(),
+                    "Server is overloaded"
+            );
+        }
+
+        String userId = userId(request);
+        if (userId != null) {
+            long waitNanos = rateLimiter.tryAcquire(userId, endpointClass);
+            if (waitNanos > 0) {
+                // afterCompletion is not called when preHandle throws, so give the permit back here.
+                concurrencyLimiter.release();
+                rateLimited.get(endpointClass).increment();
+                throw new AdmissionRejectedException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        toRetryAfterSeconds(waitNanos),
+                        "Rate limit exceeded"
+                );
+            }
+        }
+        request.setAttribute(PERMIT_ATTR, Boolean.TRUE);
+        admitted.get(endpointClass).increment();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTR) != null) {
+            request.removeAttribute(PERMIT_ATTR);
+            concurrencyLimiter.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String userId(HttpServletRequest request) {
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return (vars instanceof Map<?, ?> m) ? ((Map<String, String>) m).get("userId") : null;
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.task.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Admission control settings, bound from {@code notes.admission.*}.
+ */
+@Data
+@ConfigurationProperties("notes.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Requests allowed to run at the same time across all users. */
+    private int maxConcurrentRequests = 64;
+
+    /** Retry-After sent when the global limit sheds a request. */
+    private long overloadRetryAfterSeconds = 1;
+
+    /** Soft cap on tracked users; idle buckets are dropped above it. */
+    private int maxTrackedUsers = 100_000;
+
+    private Limit write = new Limit(10, 20);
+    private Limit list = new Limit(20, 40);
+    private Limit read = new Limit(50, 100);
+    private Limit stats = new Limit(10, 20);
+
+    public Limit limit(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case WRITE -> write;
+            case LIST -> list;
+            case READ -> read;
+            case STATS -> stats;
+        };
+    }
+
+    /**
+     * Per-user token bucket: refills at {@code ratePerSecond}, holds at most {@code burst} tokens.
+     */
+    @Data
+    public static class Limit {
+        private double ratePerSecond;
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.task.admission;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Global cap on requests running at the same time.
+ * <p>
+ * Requests above the cap are rejected immediately instead of queueing, so the
+ * Mongo pool is not driven into a latency collapse.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public ConcurrencyLimiter(AdmissionProperties props) {
+        this.maxConcurrent = props.getMaxConcurrentRequests();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
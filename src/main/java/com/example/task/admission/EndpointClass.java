@@ -0,0 +1,8 @@
+package com.example.task.admission;
+
+/**
+ * Groups notes endpoints by cost so that each group can get its own rate limit.
+ */
+public enum EndpointClass {
+    WRITE, LIST, READ, STATS
+}
@@ -0,0 +1,51 @@
+package com.example.task.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket is stored as a single "theoretical arrival time" (GCRA), so the
+ * whole state fits in one {@link AtomicLong} and is updated with a CAS loop.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(AdmissionProperties.Limit limit) {
+        if (limit.getRatePerSecond() <= 0 || limit.getBurst() <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / limit.getRatePerSecond()));
+        this.burstNanos = intervalNanos * limit.getBurst();
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return 0 if the token was taken, otherwise nanos until one is available
+     */
+    long tryAcquire(long now) {
+        for (;;) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely; dropping it loses nothing.
+     */
+    boolean isIdle(long now) {
+        return tat.get() <= now;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.task.admission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user, per-{@link EndpointClass} rate limiter.
+ * <p>
+ * Buckets live in a {@link ConcurrentHashMap} per endpoint class, so users never
+ * contend on a shared lock. When the number of tracked users reaches
+ * {@link AdmissionProperties#getMaxTrackedUsers()}, full (idle) buckets are swept,
+ * at most once per {@link #SWEEP_INTERVAL_NANOS}. If the map is still full, new
+ * users share one overflow bucket per endpoint class instead of growing the map,
+ * so rotating userIds cannot bypass the limit or exhaust memory.
+ */
+@Component
+public class UserRateLimiter {
+
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdmissionProperties props;
+    private final LongSupplier nanoClock;
+    private final Map<EndpointClass, ConcurrentHashMap<String, TokenBucket>> buckets =
+            new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, TokenBucket> overflow = new EnumMap<>(EndpointClass.class);
+    private final AtomicLong nextSweep;
+
+    @Autowired
+    public UserRateLimiter(AdmissionProperties props) {
+        this(props, System::nanoTime);
+    }
+
+    public UserRateLimiter(AdmissionProperties props, LongSupplier nanoClock) {
+        this.props = props;
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong());
+        for (EndpointClass c : EndpointClass.values()) {
+            buckets.put(c, new ConcurrentHashMap<>());
+            overflow.put(c, new TokenBucket(props.limit(c)));
+        }
+    }
+
+    /**
+     * Takes one token from the user's bucket for the given endpoint class.
+     *
+     * @return 0 if admitted, otherwise nanos until the next token is available
+     */
+    public long tryAcquire(String userId, EndpointClass endpointClass) {
+        long now = nanoClock.getAsLong();
+        ConcurrentHashMap<String, TokenBucket> map = buckets.get(endpointClass);
+
+        TokenBucket bucket = map.get(userId);
+        if (bucket == null) {
+            if (map.size() >= props.getMaxTrackedUsers()) {
+                sweepIdle(now);
+                if (map.size() >= props.getMaxTrackedUsers()) {
+                    return overflow.get(endpointClass).tryAcquire(now);
+                }
+            }
+            // Concurrent first requests may overshoot the cap by at most the number of request threads.
+            bucket = map.computeIfAbsent(userId, k -> new TokenBucket(props.limit(endpointClass)));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops idle buckets of all endpoint classes; only one caller per interval does the scan.
+     */
+    private void sweepIdle(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        for (ConcurrentHashMap<String, TokenBucket> map : buckets.values()) {
+            map.values().removeIf(b -> b.isIdle(now));
+        }
+    }
+
+    public int trackedUsers(EndpointClass endpointClass) {
+        return buckets.get(endpointClass).size();
+    }
+}
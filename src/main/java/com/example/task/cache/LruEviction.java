@@ -0,0 +1,62 @@
+package com.example.task.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate LRU eviction for the in-memory caches.
+ * <p>
+ * Entries carry their own last access time, so reads stay lock-free. When a cache
+ * is over its limit, entries are evicted oldest first in one batch down to 90% of
+ * the limit, so the sort is not repeated on every insert.
+ */
+final class LruEviction<K, V> {
+
+    private final ConcurrentHashMap<K, V> map;
+    private final ToLongFunction<V> lastAccess;
+    private final BiConsumer<K, V> onEvicted;
+
+    LruEviction(ConcurrentHashMap<K, V> map, ToLongFunction<V> lastAccess, BiConsumer<K, V> onEvicted) {
+        this.map = map;
+        this.lastAccess = lastAccess;
+        this.onEvicted = onEvicted;
+    }
+
+    /**
+     * @param usage current usage in the unit of {@code limit} (entries, bytes, ...)
+     * @param limit usage above which entries are evicted
+     */
+    void evictIfNeeded(LongSupplier usage, long limit) {
+        if (usage.getAsLong() <= limit) {
+            return;
+        }
+        synchronized (this) {
+            if (usage.getAsLong() <= limit) {
+                return;
+            }
+            // About 90%, rounded up so that small limits do not empty the cache.
+            long target = limit - limit / 10;
+
+            // Snapshot access times first: they keep changing while we sort.
+            List<Candidate<K, V>> byAccess = new ArrayList<>(map.size());
+            map.forEach((key, value) -> byAccess.add(new Candidate<>(key, value, lastAccess.applyAsLong(value))));
+            byAccess.sort(Comparator.comparingLong(Candidate::lastAccess));
+
+            for (Candidate<K, V> c : byAccess) {
+                if (usage.getAsLong() <= target) {
+                    break;
+                }
+                if (map.remove(c.key(), c.value())) {
+                    onEvicted.accept(c.key(), c.value());
+                }
+            }
+        }
+    }
+
+    private record Candidate<K, V>(K key, V value, long lastAccess) {}
+}
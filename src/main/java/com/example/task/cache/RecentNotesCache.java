@@ -0,0 +1,483 @@
+package com.example.task.cache;
+
+import com.example.task.dto.NoteResponse;
+import com.example.task.dto.NotesPageResponse;
+import com.example.task.model.Note;
+import com.example.task.model.Tag;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * In-memory read model holding the newest list items of recently active users.
+ * <p>
+ * Page 0 of the notes list (newest first, optionally filtered by tag) is served
+ * from here without a Mongo round trip. A user's entry is loaded lazily on the
+ * first list call and then kept up to date by local writes and by
+ * {@link RecentNotesChangeStream}. Whenever a change cannot be applied exactly
+ * the user's entry is dropped and loaded again on the next request.
+ * <p>
+ * The model is bounded by an estimated memory budget; least recently used users
+ * are evicted first.
+ * <p>
+ * Remote deletes are attributed to their owner via the change stream pre-image,
+ * or via the record of a local delete for its echo. The model is disabled when
+ * pre-images are not available, as totals could not be kept exact otherwise.
+ */
+@Slf4j
+@Component
+public class RecentNotesCache {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdDate");
+    private static final Comparator<NoteResponse> ORDER = Comparator
+            .comparing(NoteResponse::createdDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(NoteResponse::id, Comparator.reverseOrder());
+
+    private static final int VERSION_STRIPES = 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long ITEM_OVERHEAD_BYTES = 160;
+    private static final long PENDING_DELETE_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int PENDING_DELETE_SWEEP_SIZE = 1024;
+    private static final long PENDING_DELETE_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MongoTemplate mongo;
+    private final RecentNotesProperties props;
+
+    private final ConcurrentHashMap<String, UserNotes> users = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PendingDelete> pendingDeletes = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong nextPendingSweep = new AtomicLong(System.nanoTime());
+    private final LruEviction<String, UserNotes> eviction =
+            new LruEviction<>(users, e -> e.lastAccess, (userId, e) -> release(e));
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile boolean trackDeletes;
+    private volatile boolean disabled;
+
+    public RecentNotesCache(MongoTemplate mongo, RecentNotesProperties props, MeterRegistry registry) {
+        this.mongo = mongo;
+        this.props = props;
+        this.hits = Counter.builder("notes.recent_cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("notes.recent_cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("notes.recent_cache.users", users, Map::size).register(registry);
+        Gauge.builder("notes.recent_cache.bytes", totalBytes, AtomicLong::get).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled() && !disabled;
+    }
+
+    /**
+     * Returns page 0 for the user from memory, loading the user's entry if needed.
+     *
+     * @return the page, or {@code null} if it cannot be served from memory
+     */
+    public NotesPageResponse firstPage(String userId, int size, Tag tag) {
+        if (!isEnabled() || size < 1) {
+            return null;
+        }
+
+        UserNotes entry = users.get(userId);
+        boolean loaded = entry == null;
+        if (loaded) {
+            entry = load(userId);
+        }
+
+        NotesPageResponse page = entry.page(size, tag);
+        // A page built right after a load still cost a database round trip.
+        if (page == null || loaded) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    public void onCreated(Note note) {
+        if (!isEnabled()) {
+            return;
+        }
+        apply(note.getUserId(), e -> e.insert(toItem(note)));
+    }
+
+    public void onUpdated(Note note) {
+        if (!isEnabled()) {
+            return;
+        }
+        apply(note.getUserId(), e -> e.update(toItem(note)));
+    }
+
+    public void onDeleted(String userId, String id) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (trackDeletes) {
+            long now = System.nanoTime();
+            pendingDeletes.put(id, new PendingDelete(userId, now));
+            purgeStalePendingDeletes(now);
+        }
+        apply(userId, e -> e.remove(id));
+    }
+
+    /**
+     * Applies a delete seen on the change stream.
+     *
+     * @param before the deleted document if the pre-image is available, otherwise {@code null}
+     */
+    void onRemoteDeleted(String id, Note before) {
+        if (pendingDeletes.remove(id) != null) {
+            // Echo of a local delete, already applied.
+            return;
+        }
+        String userId = owner(id, before);
+        if (userId == null) {
+            log.warn("Cannot attribute deleted note {} to a user, its owner's totals may be stale", id);
+            return;
+        }
+        apply(userId, e -> e.remove(id));
+    }
+
+    /**
+     * Drops the entry of the note's owner.
+     */
+    void invalidateOwner(String id, Note before) {
+        String userId = owner(id, before);
+        if (userId == null) {
+            // Not cached anywhere and no pre-image: the delete event that follows carries the owner.
+            return;
+        }
+        bumpVersion(userId);
+        invalidate(userId);
+    }
+
+    /**
+     * Drops every entry, e.g. after the change stream reconnected and events may have been missed.
+     */
+    void invalidateAll() {
+        // Loads that read Mongo before this point may miss events of the gap; they must not be installed.
+        epoch.incrementAndGet();
+        for (String userId : users.keySet()) {
+            invalidate(userId);
+        }
+        pendingDeletes.clear();
+    }
+
+    /**
+     * Turns the model off, e.g. when change stream pre-images cannot be enabled.
+     */
+    void disable() {
+        disabled = true;
+        invalidateAll();
+    }
+
+    /**
+     * Local deletes are remembered until the change stream echoes them back,
+     * so that the echo is not applied twice.
+     */
+    void setTrackDeletes(boolean trackDeletes) {
+        this.trackDeletes = trackDeletes;
+    }
+
+    private record PendingDelete(String userId, long recordedAt) {}
+
+    private String owner(String id, Note before) {
+        if (before != null) {
+            return before.getUserId();
+        }
+        PendingDelete pending = pendingDeletes.get(id);
+        return pending != null ? pending.userId() : findOwner(id);
+    }
+
+    /**
+     * Local deletes whose echo raced ahead of them are never consumed; drop them after a while.
+     * Only one caller per interval does the scan.
+     */
+    private void purgeStalePendingDeletes(long now) {
+        if (pendingDeletes.size() < PENDING_DELETE_SWEEP_SIZE) {
+            return;
+        }
+        long due = nextPendingSweep.get();
+        if (now - due < 0 || !nextPendingSweep.compareAndSet(due, now + PENDING_DELETE_SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        pendingDeletes.values().removeIf(p -> now - p.recordedAt() > PENDING_DELETE_TTL_NANOS);
+    }
+
+    private interface Change {
+        boolean applyTo(UserNotes entry);
+    }
+
+    private void apply(String userId, Change change) {
+        // Bump first so that a concurrent load started before this write is not installed.
+        bumpVersion(userId);
+
+        UserNotes entry = users.get(userId);
+        if (entry == null) {
+            return;
+        }
+        boolean applied;
+        long delta;
+        synchronized (entry) {
+            if (entry.evicted) {
+                return;
+            }
+            long before = entry.bytes;
+            applied = change.applyTo(entry);
+            entry.bytes = entry.estimateBytes();
+            delta = entry.bytes - before;
+        }
+        totalBytes.addAndGet(delta);
+
+        if (!applied) {
+            invalidate(userId);
+        } else if (delta > 0) {
+            eviction.evictIfNeeded(totalBytes::get, props.getMaxBytes());
+        }
+    }
+
+    private UserNotes load(String userId) {
+        long loadEpoch = epoch.get();
+        long version = versions.get(stripe(userId));
+
+        int limit = props.getItemsPerUser();
+        // Newest items, total and per-tag totals in a single round trip.
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("userId").is(userId)),
+                Aggregation.facet(
+                                Aggregation.sort(NEWEST_FIRST),
+                                Aggregation.limit(limit),
+                                Aggregation.project().andExclude("text"))
+                        .as("recent")
+                        .and(Aggregation.count().as("n"))
+                        .as("total")
+                        .and(Aggregation.unwind("tags"), Aggregation.group("tags").count().as("n"))
+                        .as("tags")
+        );
+        Document result = mongo.aggregate(aggregation, Note.class, Document.class).getUniqueMappedResult();
+
+        List<Document> totals = result.getList("total", Document.class);
+        long total = totals.isEmpty() ? 0 : ((Number) totals.get(0).get("n")).longValue();
+        long[] tagTotals = new long[Tag.values().length];
+        for (Document t : result.getList("tags", Document.class)) {
+            tagTotals[Tag.valueOf(t.getString("_id")).ordinal()] = ((Number) t.get("n")).longValue();
+        }
+
+        UserNotes entry = new UserNotes(limit, total, tagTotals);
+        for (Document d : result.getList("recent", Document.class)) {
+            entry.items.add(toItem(mongo.getConverter().read(Note.class, d)));
+        }
+        entry.items.sort(ORDER);
+        entry.bytes = entry.estimateBytes();
+        entry.lastAccess = System.nanoTime();
+
+        if (changedSince(userId, version, loadEpoch)) {
+            return entry;
+        }
+        boolean installed;
+        synchronized (entry) {
+            installed = users.putIfAbsent(userId, entry) == null;
+            if (installed) {
+                totalBytes.addAndGet(entry.bytes);
+            }
+        }
+        if (installed) {
+            if (changedSince(userId, version, loadEpoch)) {
+                invalidate(userId);
+            }
+            eviction.evictIfNeeded(totalBytes::get, props.getMaxBytes());
+        }
+        return entry;
+    }
+
+    private void invalidate(String userId) {
+        UserNotes entry = users.remove(userId);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    private void release(UserNotes entry) {
+        synchronized (entry) {
+            entry.evicted = true;
+            totalBytes.addAndGet(-entry.bytes);
+        }
+    }
+
+    private String findOwner(String id) {
+        for (Map.Entry<String, UserNotes> e : users.entrySet()) {
+            synchronized (e.getValue()) {
+                if (e.getValue().indexOf(id) >= 0) {
+                    return e.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean changedSince(String userId, long version, long loadEpoch) {
+        return versions.get(stripe(userId)) != version || epoch.get() != loadEpoch;
+    }
+
+    private void bumpVersion(String userId) {
+        versions.incrementAndGet(stripe(userId));
+    }
+
+    private static int stripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % VERSION_STRIPES;
+    }
+
+    private static NoteResponse toItem(Note n) {
+        // Mongo stores dates with millisecond precision; keep cached items identical to what a query returns.
+        return new NoteResponse(
+                n.getId(),
+                n.getTitle(),
+                n.getUserId(),
+                n.getCreatedDate() == null ? null : n.getCreatedDate().truncatedTo(ChronoUnit.MILLIS),
+                null,
+                n.getTags() == null ? Set.of() : Set.copyOf(n.getTags())
+        );
+    }
+
+    private static long estimateBytes(NoteResponse n) {
+        return ITEM_OVERHEAD_BYTES
+                + 2L * (length(n.id()) + length(n.title()) + length(n.userId()))
+                + 16L * n.tags().size();
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    /**
+     * Newest items of one user plus the user's totals. Guarded by its own monitor.
+     */
+    private final class UserNotes {
+
+        private final int limit;
+        private final List<NoteResponse> items = new ArrayList<>();
+        private final long[] tagTotals;
+        private long total;
+        private long bytes;
+        private boolean evicted;
+        private volatile long lastAccess;
+
+        UserNotes(int limit, long total, long[] tagTotals) {
+            this.limit = limit;
+            this.total = total;
+            this.tagTotals = tagTotals;
+        }
+
+        synchronized NotesPageResponse page(int size, Tag tag) {
+            lastAccess = System.nanoTime();
+
+            boolean complete = items.size() >= total;
+            List<NoteResponse> matching = new ArrayList<>(Math.min(size, items.size()));
+            for (NoteResponse n : items) {
+                if (matching.size() == size) {
+                    break;
+                }
+                if (tag == null || n.tags().contains(tag)) {
+                    matching.add(n);
+                }
+            }
+            if (matching.size() < size && !complete) {
+                return null;
+            }
+
+            long totalItems = (tag == null) ? total : tagTotals[tag.ordinal()];
+            int totalPages = (int) ((totalItems + size - 1) / size);
+            return new NotesPageResponse(matching, 0, size, totalItems, totalPages);
+        }
+
+        boolean insert(NoteResponse item) {
+            if (pendingDeletes.containsKey(item.id())) {
+                // Late echo of a note that was already deleted here.
+                return true;
+            }
+            int idx = indexOf(item.id());
+            if (idx >= 0) {
+                // Already applied (local write echoed by the change stream).
+                return replace(idx, item);
+            }
+            boolean complete = items.size() >= total;
+            if (!complete && !items.isEmpty() && ORDER.compare(item, items.get(items.size() - 1)) > 0) {
+                // Older than everything cached: cannot tell whether it was counted already.
+                return false;
+            }
+            items.add(item);
+            items.sort(ORDER);
+            if (items.size() > limit) {
+                items.remove(items.size() - 1);
+            }
+            total++;
+            adjustTags(item.tags(), 1);
+            return true;
+        }
+
+        boolean update(NoteResponse item) {
+            int idx = indexOf(item.id());
+            return idx >= 0 && replace(idx, item);
+        }
+
+        boolean remove(String id) {
+            int idx = indexOf(id);
+            if (idx < 0) {
+                return false;
+            }
+            NoteResponse removed = items.remove(idx);
+            total--;
+            adjustTags(removed.tags(), -1);
+            return true;
+        }
+
+        int indexOf(String id) {
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).id().equals(id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        long estimateBytes() {
+            long sum = ENTRY_OVERHEAD_BYTES;
+            for (NoteResponse n : items) {
+                sum += RecentNotesCache.estimateBytes(n);
+            }
+            return sum;
+        }
+
+        private boolean replace(int idx, NoteResponse item) {
+            adjustTags(items.get(idx).tags(), -1);
+            adjustTags(item.tags(), 1);
+            items.set(idx, item);
+            items.sort(ORDER);
+            return true;
+        }
+
+        private void adjustTags(Set<Tag> tags, int delta) {
+            for (Tag t : tags) {
+                tagTotals[t.ordinal()] += delta;
+            }
+        }
+    }
+}
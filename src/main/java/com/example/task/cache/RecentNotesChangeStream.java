@@ -0,0 +1,190 @@
+package com.example.task.cache;
+
+import com.example.task.model.Note;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link RecentNotesCache} with writes made by other nodes.
+ * <p>
+ * Watches the notes collection on a background thread. Pre-images are enabled
+ * on the collection first, so deletes carry the owner of the note. This runs on
+ * the same thread and is retried while Mongo is unreachable, so startup does not
+ * wait for it; if the server rejects it (MongoDB before 6.0 or no {@code collMod}
+ * privilege) the cache is turned off.
+ * After every (re)connect the whole cache is dropped, because events may have
+ * been missed while the stream was down.
+ * <p>
+ * The settings are checked in {@link #start()} rather than with a bean condition,
+ * because Spring AOT evaluates conditions once at build time.
+ */
+@Slf4j
+@Component
+public class RecentNotesChangeStream implements SmartLifecycle {
+
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final int NAMESPACE_EXISTS = 48;
+
+    private final MongoTemplate mongo;
+    private final RecentNotesCache cache;
+    private final RecentNotesProperties props;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public RecentNotesChangeStream(MongoTemplate mongo, RecentNotesCache cache, RecentNotesProperties props) {
+        this.mongo = mongo;
+        this.cache = cache;
+        this.props = props;
+    }
+
+    @Override
+    public void start() {
+        if (!props.isEnabled() || !props.isChangeStream()) {
+            return;
+        }
+        running = true;
+        cache.setTrackDeletes(true);
+        worker = Thread.ofPlatform()
+                .name("recent-notes-change-stream")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        cache.setTrackDeletes(false);
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        if (!enablePreImages()) {
+            return;
+        }
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongo
+                    .getCollection(mongo.getCollectionName(Note.class))
+                    .watch()
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .cursor()) {
+
+                cache.invalidateAll();
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    if (event != null) {
+                        apply(event);
+                    }
+                }
+            } catch (MongoException | IllegalStateException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notes change stream failed, reconnecting: {}", e.getMessage());
+                cache.invalidateAll();
+                if (!pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void apply(ChangeStreamDocument<Document> event) {
+        switch (event.getOperationType()) {
+            case INSERT -> cache.onCreated(read(event.getFullDocument()));
+            case UPDATE, REPLACE -> {
+                if (event.getFullDocument() == null) {
+                    // Deleted before the lookup ran; the current state is unknown.
+                    cache.invalidateOwner(id(event.getDocumentKey().get("_id")), before(event));
+                } else {
+                    cache.onUpdated(read(event.getFullDocument()));
+                }
+            }
+            case DELETE -> cache.onRemoteDeleted(id(event.getDocumentKey().get("_id")), before(event));
+            default -> cache.invalidateAll();
+        }
+    }
+
+    private Note before(ChangeStreamDocument<Document> event) {
+        Document doc = event.getFullDocumentBeforeChange();
+        return doc == null ? null : read(doc);
+    }
+
+    private Note read(Document doc) {
+        return mongo.getConverter().read(Note.class, doc);
+    }
+
+    private static String id(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    /**
+     * @return {@code true} once pre-images are enabled, {@code false} if the cache
+     * was turned off or the stream stopped meanwhile
+     */
+    private boolean enablePreImages() {
+        String collection = mongo.getCollectionName(Note.class);
+        while (running) {
+            try {
+                createIfMissing(collection);
+                mongo.getDb().runCommand(new Document("collMod", collection)
+                        .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+                return true;
+            } catch (MongoCommandException e) {
+                log.error("Could not enable change stream pre-images on '{}', recent notes cache disabled "
+                        + "as remote deletes cannot be attributed: {}", collection, e.getMessage());
+                cache.disable();
+                running = false;
+                cache.setTrackDeletes(false);
+                return false;
+            } catch (MongoException e) {
+                log.warn("Could not enable change stream pre-images on '{}', retrying: {}", collection, e.getMessage());
+                if (!pause()) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void createIfMissing(String collection) {
+        try {
+            mongo.getDb().createCollection(collection);
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != NAMESPACE_EXISTS) {
+                throw e;
+            }
+        }
+    }
+}
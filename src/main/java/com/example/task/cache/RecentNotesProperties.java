@@ -0,0 +1,23 @@
+package com.example.task.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the in-memory first page read model, bound from {@code notes.recent-cache.*}.
+ */
+@Data
+@ConfigurationProperties("notes.recent-cache")
+public class RecentNotesProperties {
+
+    private boolean enabled = false;
+
+    /** Newest notes kept per user (list items, without text). */
+    private int itemsPerUser = 50;
+
+    /** Estimated memory budget for the whole model; least recently used users are evicted above it. */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /** Subscribe to the Mongo change stream to pick up writes made by other nodes. */
+    private boolean changeStream = true;
+}
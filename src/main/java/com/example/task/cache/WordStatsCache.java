@@ -0,0 +1,160 @@
+package com.example.task.cache;
+
+import com.example.task.model.WordStats;
+import com.example.task.util.WordStatsCalculator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Word statistics keyed by the content hash of the note text.
+ * <p>
+ * Notes with identical text share one computed, unmodifiable frequency map.
+ * Results are kept in memory (bounded, least recently used evicted first) and,
+ * if {@link WordStatsProperties#isPersistent()} is set, in the {@code word_stats}
+ * collection. Persisted entries are reference counted by the notes using them
+ * and removed when the last such note is updated or deleted.
+ */
+@Component
+public class WordStatsCache {
+
+    private final WordStatsCalculator calculator;
+    private final MongoTemplate mongo;
+    private final WordStatsProperties props;
+
+    private final ConcurrentHashMap<String, Entry> local = new ConcurrentHashMap<>();
+    private final LruEviction<String, Entry> eviction = new LruEviction<>(local, e -> e.lastAccess, (k, e) -> {});
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public WordStatsCache(WordStatsCalculator calculator,
+                          MongoTemplate mongo,
+                          WordStatsProperties props,
+                          MeterRegistry registry) {
+        this.calculator = calculator;
+        this.mongo = mongo;
+        this.props = props;
+        this.hits = Counter.builder("notes.stats_cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("notes.stats_cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("notes.stats_cache.entries", local, Map::size).register(registry);
+    }
+
+    /**
+     * Returns word statistics for the text, computing them only if no note with
+     * the same content hash has been seen.
+     *
+     * @param hash content hash of {@code text}
+     * @param text note text
+     * @return map: word -> occurrences, sorted by occurrences desc
+     */
+    public Map<String, Integer> stats(String hash, String text) {
+        if (!props.isEnabled()) {
+            return calculator.countWords(text);
+        }
+
+        Entry entry = local.get(hash);
+        if (entry != null) {
+            entry.lastAccess = System.nanoTime();
+            hits.increment();
+            return entry.stats;
+        }
+
+        Map<String, Integer> stats = props.isPersistent() ? findPersisted(hash) : null;
+        if (stats == null) {
+            misses.increment();
+            stats = Collections.unmodifiableMap(calculator.countWords(text));
+            if (props.isPersistent()) {
+                persist(hash, stats);
+            }
+        } else {
+            hits.increment();
+        }
+
+        // Computed outside the map so a large text does not block other keys; a rare duplicate is harmless.
+        Entry existing = local.putIfAbsent(hash, new Entry(stats));
+        if (existing != null) {
+            return existing.stats;
+        }
+        eviction.evictIfNeeded(local::size, props.getMaxEntries());
+        return stats;
+    }
+
+    /**
+     * Records that a note now uses the text with this hash.
+     * <p>
+     * Only persisted entries are reference counted; in memory, entries of unused
+     * texts are left to the LRU bound.
+     */
+    public void retain(String hash) {
+        if (!props.isEnabled() || !props.isPersistent() || hash == null) {
+            return;
+        }
+        mongo.upsert(query(where("_id").is(hash)), new Update().inc("refs", 1), WordStats.class);
+    }
+
+    /**
+     * Records that a note no longer uses the text with this hash; the shared
+     * entry is removed when no note references it any more.
+     */
+    public void release(String hash) {
+        if (!props.isEnabled() || !props.isPersistent() || hash == null) {
+            return;
+        }
+        mongo.updateFirst(query(where("_id").is(hash)), new Update().inc("refs", -1), WordStats.class);
+        long removed = mongo.remove(query(where("_id").is(hash).and("refs").lte(0)), WordStats.class)
+                .getDeletedCount();
+        if (removed > 0) {
+            local.remove(hash);
+        }
+    }
+
+    private Map<String, Integer> findPersisted(String hash) {
+        WordStats doc = mongo.findById(hash, WordStats.class);
+        if (doc == null || doc.getWords() == null) {
+            return null;
+        }
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        for (WordStats.WordCount wc : doc.getWords()) {
+            stats.put(wc.word(), wc.count());
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Stores the result only on a document created by {@link #retain(String)}.
+     * <p>
+     * No upsert: texts not referenced by a retained note (legacy notes without
+     * a stored hash, or a document just released) would otherwise leave
+     * documents that no {@link #release(String)} ever removes.
+     */
+    private void persist(String hash, Map<String, Integer> stats) {
+        // A list keeps the sort order explicit in the stored document.
+        List<WordStats.WordCount> words = new ArrayList<>(stats.size());
+        stats.forEach((word, count) -> words.add(new WordStats.WordCount(word, count)));
+        mongo.updateFirst(
+                query(where("_id").is(hash).and("refs").gt(0)),
+                new Update().set("words", words),
+                WordStats.class
+        );
+    }
+
+    private static final class Entry {
+
+        private final Map<String, Integer> stats;
+        private volatile long lastAccess = System.nanoTime();
+
+        Entry(Map<String, Integer> stats) {
+            this.stats = stats;
+        }
+    }
+}
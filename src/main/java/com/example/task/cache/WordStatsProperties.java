@@ -0,0 +1,20 @@
+package com.example.task.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the shared word statistics cache, bound from {@code notes.stats-cache.*}.
+ */
+@Data
+@ConfigurationProperties("notes.stats-cache")
+public class WordStatsProperties {
+
+    private boolean enabled = true;
+
+    /** Distinct texts kept in memory; least recently used are evicted above it. */
+    private int maxEntries = 10_000;
+
+    /** Also keep results in the {@code word_stats} collection, reference counted by notes. */
+    private boolean persistent = false;
+}
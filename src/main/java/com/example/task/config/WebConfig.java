@@ -0,0 +1,26 @@
+package com.example.task.config;
+
+import com.example.task.admission.AdmissionInterceptor;
+import com.example.task.admission.AdmissionProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+    private final AdmissionProperties admissionProperties;
+
+    public WebConfig(AdmissionInterceptor admissionInterceptor, AdmissionProperties admissionProperties) {
+        this.admissionInterceptor = admissionInterceptor;
+        this.admissionProperties = admissionProperties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (admissionProperties.isEnabled()) {
+            registry.addInterceptor(admissionInterceptor).addPathPatterns("/v1/**");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.task.controller;
 
+import com.example.task.admission.Admission;
+import com.example.task.admission.EndpointClass;
 import com.example.task.dto.NoteRequest;
 import com.example.task.dto.NoteResponse;
 import com.example.task.dto.NoteStatsResponse;
@@ -29,6 +31,7 @@ public class NoteController {
     }
 
     @PostMapping
+    @Admission(EndpointClass.WRITE)
     public ResponseEntity<NoteResponse> create(
             @PathVariable("userId") String userId,
             @Valid @RequestBody NoteRequest req
@@ -40,6 +43,7 @@ public class NoteController {
     }
 
     @GetMapping
+    @Admission(EndpointClass.LIST)
     public ResponseEntity<NotesPageResponse> list(
             @PathVariable("userId") String userId,
             @RequestParam(defaultValue = "0") int page,
@@ -50,6 +54,7 @@ public class NoteController {
     }
 
     @GetMapping("/{id}/text")
+    @Admission(EndpointClass.READ)
     public ResponseEntity<NoteResponse> text(
             @PathVariable("userId") String userId,
             @PathVariable("id") String id
@@ -58,6 +63,7 @@ public class NoteController {
     }
 
     @GetMapping("/{id}/stats")
+    @Admission(EndpointClass.STATS)
     public ResponseEntity<NoteStatsResponse> stats(
             @PathVariable("userId") String userId,
             @PathVariable("id") String id
@@ -66,6 +72,7 @@ public class NoteController {
     }
 
     @PutMapping("/{id}")
+    @Admission(EndpointClass.WRITE)
     public ResponseEntity<NoteResponse> update(
             @PathVariable("userId") String userId,
             @PathVariable("id") String id,
@@ -75,6 +82,7 @@ public class NoteController {
     }
 
     @DeleteMapping("/{id}")
+    @Admission(EndpointClass.WRITE)
     public ResponseEntity<Void> delete(
             @PathVariable("userId") String userId,
             @PathVariable("id") String id
@@ -22,6 +22,7 @@ public class Note {
     private String title;
     private Instant createdDate;
     private String text;
+    private String textHash;
     private Set<Tag> tags = new HashSet<>();
 
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.task.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * Word statistics shared by all notes with the same text.
+ * <p>
+ * The id is the content hash of the text; {@code refs} counts the notes using it.
+ */
+@Data
+@Document("word_stats")
+public class WordStats {
+
+    @Id
+    private String hash;
+
+    private List<WordCount> words;
+    private long refs;
+
+    public record WordCount(String word, int count) {}
+}
@@ -5,6 +5,7 @@ import com.example.task.model.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
@@ -21,7 +22,14 @@ public interface NoteRepository extends MongoRepository<Note, String> {
 
     Optional<Note> findByIdAndUserId(String id, String userId);
 
-    boolean existsByIdAndUserId(String id, String userId);
+    /**
+     * Loads only the content hash of the note, e.g. to release shared word stats on delete.
+     */
+    @Query(value = "{ '_id': ?0, 'userId': ?1 }", fields = "{ 'textHash': 1 }")
+    Optional<Note> findTextHashByIdAndUserId(String id, String userId);
 
-    void deleteByIdAndUserId(String id, String userId);
+    /**
+     * @return number of deleted notes, 0 if another request deleted it first
+     */
+    long deleteByIdAndUserId(String id, String userId);
 }
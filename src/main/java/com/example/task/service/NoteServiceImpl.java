@@ -1,5 +1,7 @@
 package com.example.task.service;
 
+import com.example.task.cache.RecentNotesCache;
+import com.example.task.cache.WordStatsCache;
 import com.example.task.dto.NoteRequest;
 import com.example.task.dto.NoteResponse;
 import com.example.task.dto.NoteStatsResponse;
@@ -8,15 +10,21 @@ import com.example.task.exception.NotFoundException;
 import com.example.task.model.Note;
 import com.example.task.model.Tag;
 import com.example.task.repository.NoteRepository;
-import com.example.task.util.WordStatsCalculator;
+import com.example.task.util.ContentHasher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.Set;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 /**
  * Default implementation of {@link NoteService}.
  * <p>
@@ -26,11 +34,21 @@ import java.util.Set;
 public class NoteServiceImpl implements NoteService {
 
     private final NoteRepository repo;
-    private final WordStatsCalculator statsCalculator;
-
-    public NoteServiceImpl(NoteRepository repo, WordStatsCalculator statsCalculator) {
+    private final MongoTemplate mongo;
+    private final WordStatsCache statsCache;
+    private final ContentHasher hasher;
+    private final RecentNotesCache recentNotes;
+
+    public NoteServiceImpl(NoteRepository repo,
+                           MongoTemplate mongo,
+                           WordStatsCache statsCache,
+                           ContentHasher hasher,
+                           RecentNotesCache recentNotes) {
         this.repo = repo;
-        this.statsCalculator = statsCalculator;
+        this.mongo = mongo;
+        this.statsCache = statsCache;
+        this.hasher = hasher;
+        this.recentNotes = recentNotes;
     }
 
     @Override
@@ -39,36 +57,75 @@ public class NoteServiceImpl implements NoteService {
         note.setUserId(userId);
         note.setTitle(req.title());
         note.setText(req.text());
+        note.setTextHash(hasher.hash(req.text()));
         note.setTags(req.tags() == null ? Set.of() : req.tags());
         note.setCreatedDate(Instant.now());
 
         Note saved = repo.save(note);
+        statsCache.retain(saved.getTextHash());
+        recentNotes.onCreated(saved);
         return toFullResponse(saved);
     }
 
+    /**
+     * The write is conditional on the content hash read before it, so that the
+     * word stats reference counts move exactly once per text change even when
+     * several updates of the same note race; the loser reads again and retries.
+     */
     @Override
     public NoteResponse update(String userId, String id, NoteRequest req) {
-        Note note = repo.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new NotFoundException("Note not found"));
-
-        note.setTitle(req.title());
-        note.setText(req.text());
-        note.setTags(req.tags() == null ? Set.of() : req.tags());
-
-        Note saved = repo.save(note);
-        return toFullResponse(saved);
+        String newHash = hasher.hash(req.text());
+        Update update = new Update()
+                .set("title", req.title())
+                .set("text", req.text())
+                .set("textHash", newHash)
+                .set("tags", req.tags() == null ? Set.of() : req.tags());
+
+        while (true) {
+            Note current = repo.findTextHashByIdAndUserId(id, userId)
+                    .orElseThrow(() -> new NotFoundException("Note not found"));
+            String oldHash = current.getTextHash();
+
+            Note saved = mongo.findAndModify(
+                    query(where("_id").is(id).and("userId").is(userId).and("textHash").is(oldHash)),
+                    update,
+                    FindAndModifyOptions.options().returnNew(true),
+                    Note.class
+            );
+            if (saved == null) {
+                continue;
+            }
+            if (!newHash.equals(oldHash)) {
+                statsCache.retain(newHash);
+                statsCache.release(oldHash);
+            }
+            recentNotes.onUpdated(saved);
+            return toFullResponse(saved);
+        }
     }
 
     @Override
     public void delete(String userId, String id) {
-        if (!repo.existsByIdAndUserId(id, userId)) {
+        Note note = repo.findTextHashByIdAndUserId(id, userId)
+                .orElseThrow(() -> new NotFoundException("Note not found"));
+
+        // Only the request that actually removed the note releases its reference.
+        if (repo.deleteByIdAndUserId(id, userId) == 0) {
             throw new NotFoundException("Note not found");
         }
-        repo.deleteByIdAndUserId(id, userId);
+        statsCache.release(note.getTextHash());
+        recentNotes.onDeleted(userId, id);
     }
 
     @Override
     public NotesPageResponse list(String userId, int page, int size, Tag tag) {
+        if (page == 0) {
+            NotesPageResponse cached = recentNotes.firstPage(userId, size, tag);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         var pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdDate"));
 
         var p = (tag == null)
@@ -102,7 +159,9 @@ public class NoteServiceImpl implements NoteService {
         Note note = repo.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new NotFoundException("Note not found"));
 
-        Map<String, Integer> stats = statsCalculator.countWords(note.getText());
+        // Notes written before content hashes were stored get hashed on the fly.
+        String hash = note.getTextHash() != null ? note.getTextHash() : hasher.hash(note.getText());
+        Map<String, Integer> stats = statsCache.stats(hash, note.getText());
         return new NoteStatsResponse(stats);
     }
 
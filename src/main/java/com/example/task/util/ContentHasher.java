@@ -0,0 +1,28 @@
+package com.example.task.util;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes content hashes of note texts.
+ * <p>
+ * SHA-256 is used because the hash alone identifies shared data across users and
+ * nodes, so collisions must not happen in practice. It is hardware accelerated
+ * on current JVMs and much cheaper than counting words.
+ */
+@Component
+public class ContentHasher {
+
+    public String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.test.admission;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for admission control.
+ * <p>
+ * One user floods the list endpoint from several threads while another user
+ * keeps a modest request rate. The flooding user must be throttled with 429
+ * and Retry-After, while the polite user keeps getting 200.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.list.rate-per-second=5",
+                "notes.admission.list.burst=5"
+        }
+)
+class AdmissionLoadIT extends BaseMongoIT {
+
+    @Autowired TestRestTemplate rest;
+    @Autowired NoteRepository repo;
+
+    private static final String GREEDY = "greedy";
+    private static final String POLITE = "polite";
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void list_shouldThrottleGreedyUser_withoutStarvingOthers() throws Exception {
+        AtomicInteger greedyOk = new AtomicInteger();
+        AtomicInteger greedyThrottled = new AtomicInteger();
+        AtomicInteger politeOk = new AtomicInteger();
+        AtomicInteger politeRejected = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+
+        ExecutorService pool = Executors.newFixedThreadPool(9);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    ResponseEntity<String> resp = rest.getForEntity(baseUrl(GREEDY), String.class);
+                    if (resp.getStatusCode() == HttpStatus.OK) {
+                        greedyOk.incrementAndGet();
+                    } else if (resp.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                        assertThat(resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+                        greedyThrottled.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                ResponseEntity<String> resp = rest.getForEntity(baseUrl(POLITE), String.class);
+                if (resp.getStatusCode() == HttpStatus.OK) {
+                    politeOk.incrementAndGet();
+                } else {
+                    politeRejected.incrementAndGet();
+                }
+                Thread.sleep(300);
+            }
+            return null;
+        }));
+
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(greedyThrottled.get()).isPositive();
+        assertThat(greedyOk.get()).isBetween(5, 5 + 5 * 3);
+        assertThat(politeOk.get()).isPositive();
+        assertThat(politeRejected.get()).isZero();
+    }
+
+    private String baseUrl(String userId) {
+        return "/v1/users/" + userId + "/notes";
+    }
+}
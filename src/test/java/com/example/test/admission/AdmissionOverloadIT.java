@@ -0,0 +1,130 @@
+package com.example.test.admission;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.admission.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for global load shedding.
+ * <p>
+ * The concurrency cap is saturated by holding permits directly, which makes
+ * shedding deterministic. The per-user bucket refills so slowly that every
+ * admitted request is visible in it.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.max-concurrent-requests=2",
+                "notes.admission.overload-retry-after-seconds=3",
+                "notes.admission.list.rate-per-second=0.01",
+                "notes.admission.list.burst=2"
+        }
+)
+class AdmissionOverloadIT extends BaseMongoIT {
+
+    @Autowired TestRestTemplate rest;
+    @Autowired ConcurrencyLimiter concurrencyLimiter;
+    @Autowired MeterRegistry registry;
+
+    @Test
+    void overload_shouldShed503WithRetryAfter_withoutSpendingUserTokens() {
+        assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        try {
+            for (int i = 0; i < 5; i++) {
+                ResponseEntity<String> resp = rest.getForEntity(baseUrl("shed"), String.class);
+                assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                assertThat(resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+            }
+        } finally {
+            concurrencyLimiter.release();
+            concurrencyLimiter.release();
+        }
+
+        // Shed requests did not touch the bucket: the full burst of 2 is still there.
+        assertThat(rest.getForEntity(baseUrl("shed"), String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rest.getForEntity(baseUrl("shed"), String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rest.getForEntity(baseUrl("shed"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(registry.get("notes.admission.rejected")
+                .tag("endpoint", "list").tag("reason", "overloaded")
+                .counter().count()).isGreaterThanOrEqualTo(5);
+        awaitInFlight(0);
+    }
+
+    @Test
+    void burst_shouldOnlySucceedOrShed_andReturnAllPermits() throws Exception {
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    // A fresh user per request keeps the per-user limit out of the picture.
+                    ResponseEntity<String> resp = rest.getForEntity(baseUrl("burst-" + thread + "-" + i), String.class);
+                    if (resp.getStatusCode() == HttpStatus.OK) {
+                        ok.incrementAndGet();
+                    } else if (resp.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                        assertThat(resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+                        shed.incrementAndGet();
+                    } else {
+                        other.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(other.get()).isZero();
+        assertThat(ok.get() + shed.get()).isEqualTo(16 * 20);
+        assertThat(ok.get()).isPositive();
+        awaitInFlight(0);
+        assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        concurrencyLimiter.release();
+        concurrencyLimiter.release();
+    }
+
+    private void awaitInFlight(double expected) {
+        // afterCompletion may run just after the client has read the response.
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (registry.get("notes.admission.in_flight").gauge().value() != expected) {
+            assertThat(System.currentTimeMillis()).as("in_flight did not return to %s", expected).isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private String baseUrl(String userId) {
+        return "/v1/users/" + userId + "/notes";
+    }
+}
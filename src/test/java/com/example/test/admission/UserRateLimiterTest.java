@@ -0,0 +1,85 @@
+package com.example.test.admission;
+
+import com.example.task.admission.AdmissionProperties;
+import com.example.task.admission.EndpointClass;
+import com.example.task.admission.UserRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-user token buckets, driven by a manual clock.
+ */
+class UserRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private AdmissionProperties props;
+    private UserRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        props = new AdmissionProperties();
+        props.setList(new AdmissionProperties.Limit(2, 3));
+        limiter = new UserRateLimiter(props, clock::get);
+    }
+
+    @Test
+    void shouldAllowBurst_thenReject() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u1", EndpointClass.LIST)).isZero();
+        }
+        assertThat(limiter.tryAcquire("u1", EndpointClass.LIST)).isPositive();
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u1", EndpointClass.LIST);
+        }
+        long wait = limiter.tryAcquire("u1", EndpointClass.LIST);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        clock.addAndGet(wait);
+        assertThat(limiter.tryAcquire("u1", EndpointClass.LIST)).isZero();
+        assertThat(limiter.tryAcquire("u1", EndpointClass.LIST)).isPositive();
+    }
+
+    @Test
+    void shouldIsolateUsersAndEndpointClasses() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u1", EndpointClass.LIST);
+        }
+        assertThat(limiter.tryAcquire("u1", EndpointClass.LIST)).isPositive();
+        assertThat(limiter.tryAcquire("u2", EndpointClass.LIST)).isZero();
+        assertThat(limiter.tryAcquire("u1", EndpointClass.READ)).isZero();
+    }
+
+    @Test
+    void shouldDropIdleBuckets_whenOverCap() {
+        props.setMaxTrackedUsers(2);
+        limiter.tryAcquire("u1", EndpointClass.LIST);
+        limiter.tryAcquire("u2", EndpointClass.LIST);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.tryAcquire("u3", EndpointClass.LIST);
+
+        assertThat(limiter.trackedUsers(EndpointClass.LIST)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareOverflowBucket_whenFullOfActiveUsers() {
+        props.setMaxTrackedUsers(2);
+        limiter.tryAcquire("u1", EndpointClass.LIST);
+        limiter.tryAcquire("u2", EndpointClass.LIST);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("rotating-" + i, EndpointClass.LIST)).isZero();
+        }
+        assertThat(limiter.tryAcquire("rotating-3", EndpointClass.LIST)).isPositive();
+        assertThat(limiter.trackedUsers(EndpointClass.LIST)).isEqualTo(2);
+    }
+}
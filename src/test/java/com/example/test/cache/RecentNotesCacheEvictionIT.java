@@ -0,0 +1,109 @@
+package com.example.test.cache;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.dto.NoteRequest;
+import com.example.task.dto.NoteResponse;
+import com.example.task.dto.NotesPageResponse;
+import com.example.task.repository.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the memory bound of the first page read model.
+ * <p>
+ * Runs in its own context with a budget of about three single-note users
+ * (roughly 550 bytes each), and without the change stream, whose reconnect
+ * would drop the whole model at an arbitrary point of the test.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.enabled=false",
+                "notes.recent-cache.enabled=true",
+                "notes.recent-cache.change-stream=false",
+                "notes.recent-cache.max-bytes=" + RecentNotesCacheEvictionIT.MAX_BYTES
+        }
+)
+class RecentNotesCacheEvictionIT extends BaseMongoIT {
+
+    static final long MAX_BYTES = 2000;
+
+    @Autowired TestRestTemplate rest;
+    @Autowired NoteRepository repo;
+    @Autowired MeterRegistry registry;
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void leastRecentlyUsedUser_shouldBeEvicted_whenOverBudget() {
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String userId = "lru-" + UUID.randomUUID();
+            create(userId);
+            users.add(userId);
+        }
+
+        list(users.get(0));
+        list(users.get(1));
+        list(users.get(2));
+        // Touch the first user, so the second one is now the least recently used.
+        list(users.get(0));
+        // Loading a fourth user goes over the budget.
+        list(users.get(3));
+
+        assertThat(bytes()).isPositive().isLessThanOrEqualTo(MAX_BYTES);
+
+        double hitsBefore = hits();
+        list(users.get(0));
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+
+        double missesBefore = misses();
+        list(users.get(1));
+        assertThat(misses()).isEqualTo(missesBefore + 1);
+
+        assertThat(bytes()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    private double bytes() {
+        return registry.get("notes.recent_cache.bytes").gauge().value();
+    }
+
+    private double misses() {
+        return registry.get("notes.recent_cache.requests").tag("result", "miss").counter().count();
+    }
+
+    private double hits() {
+        return registry.get("notes.recent_cache.requests").tag("result", "hit").counter().count();
+    }
+
+    private void list(String userId) {
+        ResponseEntity<NotesPageResponse> resp = rest.getForEntity(url(userId) + "?page=0&size=10", NotesPageResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody().items()).hasSize(1);
+    }
+
+    private void create(String userId) {
+        ResponseEntity<NoteResponse> resp = rest.postForEntity(url(userId), new NoteRequest("t", "text", Set.of()), NoteResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    private String url(String userId) {
+        return "/v1/users/" + userId + "/notes";
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.test.cache;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.dto.NoteRequest;
+import com.example.task.dto.NoteResponse;
+import com.example.task.dto.NotesPageResponse;
+import com.example.task.model.Note;
+import com.example.task.model.Tag;
+import com.example.task.repository.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the in-memory first page read model.
+ * <p>
+ * Writes made through the repository bypass the service and stand in for
+ * writes made by another node; they must arrive through the change stream.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.enabled=false",
+                "notes.recent-cache.enabled=true",
+                "notes.recent-cache.items-per-user=3"
+        }
+)
+class RecentNotesCacheIT extends BaseMongoIT {
+
+    @Autowired TestRestTemplate rest;
+    @Autowired NoteRepository repo;
+    @Autowired MeterRegistry registry;
+
+    // A fresh user per test, so change stream events of the previous test cannot leak in.
+    private String userId;
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAll();
+        userId = "cache-" + UUID.randomUUID();
+    }
+
+    @Test
+    void firstPage_shouldBeServedFromMemory_andReflectLocalWrites() throws Exception {
+        String id1 = create("t1", Set.of(Tag.BUSINESS));
+        Thread.sleep(5);
+        create("t2", Set.of(Tag.PERSONAL));
+
+        list("?page=0&size=10");
+        double hitsBefore = hits();
+
+        Thread.sleep(5);
+        String id3 = create("t3", Set.of(Tag.BUSINESS));
+        rest.exchange(baseUrl() + "/" + id1, HttpMethod.DELETE, HttpEntity.EMPTY, Void.class);
+
+        NotesPageResponse page = list("?page=0&size=10");
+        assertThat(hits()).isGreaterThan(hitsBefore);
+        assertThat(page.items()).extracting(NoteResponse::title).containsExactly("t3", "t2");
+        assertThat(page.items()).allMatch(n -> n.text() == null);
+        assertThat(page.totalItems()).isEqualTo(2);
+
+        NotesPageResponse business = list("?page=0&size=10&tag=BUSINESS");
+        assertThat(business.items()).extracting(NoteResponse::id).containsExactly(id3);
+        assertThat(business.totalItems()).isEqualTo(1);
+    }
+
+    @Test
+    void firstPage_shouldMatchMongo_whenMoreNotesThanCached() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            create("t" + i, Set.of(Tag.IMPORTANT));
+            Thread.sleep(5);
+        }
+
+        NotesPageResponse page0 = list("?page=0&size=2");
+        assertThat(page0.items()).extracting(NoteResponse::title).containsExactly("t5", "t4");
+        assertThat(page0.totalItems()).isEqualTo(5);
+        assertThat(page0.totalPages()).isEqualTo(3);
+
+        NotesPageResponse large = list("?page=0&size=4");
+        assertThat(large.items()).extracting(NoteResponse::title).containsExactly("t5", "t4", "t3", "t2");
+    }
+
+    @Test
+    void firstPage_shouldPickUpWritesFromOtherNodes() {
+        create("local", Set.of());
+        list("?page=0&size=10");
+
+        Note remote = new Note();
+        remote.setUserId(userId);
+        remote.setTitle("remote");
+        remote.setText("written elsewhere");
+        remote.setCreatedDate(Instant.now());
+        remote.setTags(Set.of(Tag.PERSONAL));
+        repo.save(remote);
+
+        awaitTrue(() -> list("?page=0&size=10").items().stream()
+                .anyMatch(n -> "remote".equals(n.title())));
+
+        repo.deleteById(remote.getId());
+
+        awaitTrue(() -> list("?page=0&size=10").items().stream()
+                .noneMatch(n -> "remote".equals(n.title())));
+    }
+
+    @Test
+    void localDelete_shouldNotDropOtherUsersEntries() throws Exception {
+        create("mine", Set.of());
+        list("?page=0&size=10");
+
+        String otherUser = userId + "-other";
+        String otherBase = "/v1/users/" + otherUser + "/notes";
+        ResponseEntity<NoteResponse> created = rest.postForEntity(otherBase, new NoteRequest("t", "text", Set.of()), NoteResponse.class);
+        rest.getForObject(otherBase + "?page=0&size=10", NotesPageResponse.class);
+        rest.exchange(otherBase + "/" + created.getBody().id(), HttpMethod.DELETE, HttpEntity.EMPTY, Void.class);
+
+        // Give the change stream time to echo the delete back.
+        Thread.sleep(1_000);
+
+        double missesBefore = misses();
+        list("?page=0&size=10");
+        assertThat(misses()).isEqualTo(missesBefore);
+    }
+
+    private double misses() {
+        return registry.get("notes.recent_cache.requests").tag("result", "miss").counter().count();
+    }
+
+    private double hits() {
+        return registry.get("notes.recent_cache.requests").tag("result", "hit").counter().count();
+    }
+
+    private void awaitTrue(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.get()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private NotesPageResponse list(String query) {
+        return rest.getForObject(baseUrl() + query, NotesPageResponse.class);
+    }
+
+    private String create(String title, Set<Tag> tags) {
+        ResponseEntity<NoteResponse> resp = rest.postForEntity(baseUrl(), new NoteRequest(title, "text", tags), NoteResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return resp.getBody().id();
+    }
+
+    private String baseUrl() {
+        return "/v1/users/" + userId + "/notes";
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.test.cache;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.dto.NoteRequest;
+import com.example.task.dto.NoteResponse;
+import com.example.task.dto.NoteStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the entry bound of the in-memory word stats cache.
+ * <p>
+ * Runs in memory only: with {@code persistent: true} an evicted entry would be
+ * read back from {@code word_stats} and count as a hit.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.enabled=false",
+                "notes.stats-cache.max-entries=3"
+        }
+)
+class WordStatsCacheEvictionIT extends BaseMongoIT {
+
+    @Autowired TestRestTemplate rest;
+    @Autowired MeterRegistry registry;
+
+    @Test
+    void leastRecentlyUsedText_shouldBeRecomputed_whenOverMaxEntries() {
+        String a = create("text a " + UUID.randomUUID());
+        String b = create("text b " + UUID.randomUUID());
+        String c = create("text c " + UUID.randomUUID());
+        String d = create("text d " + UUID.randomUUID());
+
+        stats(a);
+        stats(b);
+        stats(c);
+        // Touch a, so b is now the least recently used.
+        stats(a);
+        // A fourth text goes over the limit.
+        stats(d);
+
+        double hitsBefore = count("hit");
+        stats(a);
+        assertThat(count("hit")).isEqualTo(hitsBefore + 1);
+
+        double missesBefore = count("miss");
+        stats(b);
+        assertThat(count("miss")).isEqualTo(missesBefore + 1);
+    }
+
+    private double count(String result) {
+        return registry.get("notes.stats_cache.requests").tag("result", result).counter().count();
+    }
+
+    private void stats(String id) {
+        ResponseEntity<NoteStatsResponse> resp = rest.getForEntity(url() + "/" + id + "/stats", NoteStatsResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private String create(String text) {
+        ResponseEntity<NoteResponse> resp = rest.postForEntity(url(), new NoteRequest("t", text, Set.of()), NoteResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return resp.getBody().id();
+    }
+
+    private String url() {
+        return "/v1/users/lru-stats/notes";
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.test.cache;
+
+import com.example.test.BaseMongoIT;
+import com.example.task.dto.NoteRequest;
+import com.example.task.dto.NoteResponse;
+import com.example.task.dto.NoteStatsResponse;
+import com.example.task.model.Note;
+import com.example.task.model.WordStats;
+import com.example.task.repository.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for word stats shared across notes with identical text.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notes.admission.enabled=false",
+                "notes.stats-cache.persistent=true"
+        }
+)
+class WordStatsCacheIT extends BaseMongoIT {
+
+    @Autowired TestRestTemplate rest;
+    @Autowired NoteRepository repo;
+    @Autowired MongoTemplate mongo;
+    @Autowired MeterRegistry registry;
+
+    // Each test uses its own text: the in-memory cache outlives the collection cleanup.
+    private static final String TEXT = "the same template text, the same words";
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAll();
+        mongo.dropCollection(WordStats.class);
+    }
+
+    @Test
+    void stats_shouldBeComputedOnce_forIdenticalTexts() {
+        String id1 = create("u1", TEXT + " one");
+        String id2 = create("u2", TEXT + " one");
+
+        double missesBefore = misses();
+        NoteStatsResponse s1 = stats("u1", id1);
+        NoteStatsResponse s2 = stats("u2", id2);
+
+        assertThat(misses() - missesBefore).isEqualTo(1);
+        assertThat(s2.stats()).containsExactlyEntriesOf(s1.stats());
+        assertThat(s1.stats().get("the")).isEqualTo(2);
+        assertThat(mongo.findAll(WordStats.class)).singleElement()
+                .satisfies(ws -> assertThat(ws.getRefs()).isEqualTo(2));
+    }
+
+    @Test
+    void sharedStats_shouldBeRemoved_whenLastNoteIsGone() {
+        String id1 = create("u1", TEXT + " two");
+        String id2 = create("u2", TEXT + " two");
+        stats("u1", id1);
+
+        update("u1", id1, "something else entirely");
+        assertThat(mongo.findAll(WordStats.class))
+                .filteredOn(ws -> ws.getWords() != null)
+                .singleElement()
+                .satisfies(ws -> assertThat(ws.getRefs()).isEqualTo(1));
+
+        rest.exchange(url("u2") + "/" + id2, HttpMethod.DELETE, HttpEntity.EMPTY, Void.class);
+        assertThat(mongo.findAll(WordStats.class)).noneMatch(ws -> ws.getWords() != null);
+    }
+
+    @Test
+    void refs_shouldMatchNotes_whenRequestsRaceOnTheSameNote() throws Exception {
+        String shared = TEXT + " three";
+        String id1 = create("u1", shared);
+        create("u2", shared);
+        String id3 = create("u3", TEXT + " four");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String text = TEXT + " racing " + i;
+                calls.add(pool.submit(() -> rest.exchange(url("u1") + "/" + id1, HttpMethod.DELETE, HttpEntity.EMPTY, Void.class)));
+                calls.add(pool.submit(() -> update("u3", id3, text)));
+            }
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Long> notesPerHash = repo.findAll().stream()
+                .collect(Collectors.groupingBy(Note::getTextHash, Collectors.counting()));
+        Map<String, Long> refsPerHash = mongo.findAll(WordStats.class).stream()
+                .collect(Collectors.toMap(WordStats::getHash, WordStats::getRefs));
+        assertThat(refsPerHash).isEqualTo(notesPerHash);
+    }
+
+    private double misses() {
+        return registry.get("notes.stats_cache.requests").tag("result", "miss").counter().count();
+    }
+
+    private NoteStatsResponse stats(String userId, String id) {
+        ResponseEntity<NoteStatsResponse> resp = rest.getForEntity(url(userId) + "/" + id + "/stats", NoteStatsResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return resp.getBody();
+    }
+
+    private void update(String userId, String id, String text) {
+        ResponseEntity<NoteResponse> resp = rest.exchange(
+                url(userId) + "/" + id,
+                HttpMethod.PUT,
+                new HttpEntity<>(new NoteRequest("t", text, Set.of())),
+                NoteResponse.class
+        );
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private String create(String userId, String text) {
+        ResponseEntity<NoteResponse> resp = rest.postForEntity(url(userId), new NoteRequest("t", text, Set.of()), NoteResponse.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return resp.getBody().id();
+    }
+
+    private String url(String userId) {
+        return "/v1/users/" + userId + "/notes";
+    }
+}
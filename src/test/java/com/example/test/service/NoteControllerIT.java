@@ -25,7 +25,10 @@ import static org.assertj.core.api.Assertions.assertThat;
  * <p>
  * The tests call HTTP endpoints and verify MongoDB persistence through Testcontainers.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "notes.admission.enabled=false"
+)
 class NoteControllerIT extends BaseMongoIT {
 
     @Autowired TestRestTemplate rest;